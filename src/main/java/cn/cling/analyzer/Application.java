@@ -1,10 +1,13 @@
 package cn.cling.analyzer;
 
+import cn.cling.analyzer.core.ClasspathIndex;
+import cn.cling.analyzer.core.HtmlReportGenerator;
 import cn.cling.analyzer.core.JavaSourceAnalyzer;
 import cn.cling.analyzer.core.ReportGenerator;
 import cn.cling.analyzer.model.ClassInfo;
 import cn.cling.analyzer.util.FileUtils;
 
+import java.io.File;
 import java.util.List;
 import java.util.Scanner;
 
@@ -16,7 +19,9 @@ public class Application {
     public static void main(String[] args) {
         System.out.println("欢迎使用Java项目静态分析工具！");
         System.out.println("可用命令：");
-        System.out.println("    report [源代码路径] [报告输出路径] —— 生成代码分析报告");
+        System.out.println("    report [源代码路径] [报告输出路径] [类路径(可选)] —— 生成代码分析报告");
+        System.out.println("    html [源代码路径] [报告输出目录] [类路径(可选)] —— 生成可浏览的HTML分析报告");
+        System.out.println("    （类路径为jar文件或jar目录，多个以" + File.pathSeparator + "分隔，用于解析JDK及第三方类名）");
         System.out.println("    exit —— 退出程序");
 
         Scanner scanner = new Scanner(System.in);
@@ -29,10 +34,11 @@ public class Application {
                 break;
             }
             
-            if (input.startsWith("report ")) {
+            if (input.startsWith("report ") || input.startsWith("html ")) {
                 String[] parts = input.split("\\s+");
-                if (parts.length != 3) {
-                    System.out.println("命令格式错误！正确格式：report [源代码路径] [报告输出路径]");
+                if (parts.length != 3 && parts.length != 4) {
+                    System.out.println("命令格式错误！正确格式：report [源代码路径] [报告输出路径] [类路径(可选)]"
+                            + " 或 html [源代码路径] [报告输出目录] [类路径(可选)]");
                     continue;
                 }
                 
@@ -43,22 +49,35 @@ public class Application {
                         continue;
                     }
                     
+                    // 加载类路径索引
+                    ClasspathIndex classpathIndex = null;
+                    if (parts.length == 4) {
+                        System.out.println("正在加载类路径索引...");
+                        classpathIndex = ClasspathIndex.load(parts[3]);
+                        System.out.println("类路径索引已加载，共" + classpathIndex.getPackageCount() + "个包");
+                    }
+
                     // 分析源代码
                     System.out.println("正在分析源代码...");
-                    JavaSourceAnalyzer analyzer = new JavaSourceAnalyzer();
+                    JavaSourceAnalyzer analyzer = new JavaSourceAnalyzer(classpathIndex);
                     List<ClassInfo> classInfoList = analyzer.analyzeDirectory(parts[1]);
                     
                     // 生成报告
                     System.out.println("正在生成分析报告...");
-                    ReportGenerator reportGenerator = new ReportGenerator();
-                    reportGenerator.generateReport(classInfoList, parts[2]);
+                    if (parts[0].equals("html")) {
+                        HtmlReportGenerator htmlReportGenerator = new HtmlReportGenerator();
+                        htmlReportGenerator.generateReport(classInfoList, parts[2]);
+                    } else {
+                        ReportGenerator reportGenerator = new ReportGenerator();
+                        reportGenerator.generateReport(classInfoList, parts[2]);
+                    }
                     
                     System.out.println("分析完成！报告已保存到：" + parts[2]);
                 } catch (Exception e) {
                     System.out.println("发生错误：" + e.getMessage());
                 }
             } else {
-                System.out.println("未知命令！可用命令：report, exit");
+                System.out.println("未知命令！可用命令：report, html, exit");
             }
         }
         scanner.close();
@@ -0,0 +1,264 @@
+package cn.cling.analyzer.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 类路径索引：包名 -> 该包下的顶层类型名
+ * 索引来源为 JDK 以及用户指定的 jar 文件或 jar 目录（如 Maven 的 target/dependency），
+ * 只读取 jar 的目录结构，不加载任何类。首次扫描后持久化到缓存文件，之后直接读取缓存。
+ */
+public class ClasspathIndex {
+    private static final int CACHE_MAGIC = 0x43504958;
+    private static final int CACHE_VERSION = 1;
+    private static final int MAX_FINGERPRINT_LENGTH = 16 * 1024 * 1024;
+    private static final Path DEFAULT_CACHE_DIR = Paths.get(System.getProperty("user.home"), ".code-analyzer");
+
+    private final Map<String, Set<String>> packageToTypes;
+
+    private ClasspathIndex(Map<String, Set<String>> packageToTypes) {
+        this.packageToTypes = packageToTypes;
+    }
+
+    /**
+     * @param classpath 以系统路径分隔符分隔的 jar 文件或目录
+     * @return 包含 JDK 与给定类路径的索引
+     */
+    public static ClasspathIndex load(String classpath) throws IOException {
+        return load(classpath, DEFAULT_CACHE_DIR);
+    }
+
+    /**
+     * @param classpath 以系统路径分隔符分隔的 jar 文件或目录
+     * @param cacheDir 索引缓存目录
+     * @return 包含 JDK 与给定类路径的索引
+     */
+    public static ClasspathIndex load(String classpath, Path cacheDir) throws IOException {
+        List<Path> jars = collectJars(classpath);
+        String fingerprint = fingerprint(jars);
+        String cacheName = "classpath-" + Integer.toHexString((System.getProperty("java.home") + classpath).hashCode())
+                + ".idx";
+        Path cacheFile = cacheDir.resolve(cacheName);
+
+        Map<String, Set<String>> cached = readCache(cacheFile, fingerprint);
+        if (cached != null) {
+            return new ClasspathIndex(cached);
+        }
+
+        Map<String, Set<String>> packageToTypes = new HashMap<>();
+        indexJdk(packageToTypes);
+        for (Path jar : jars) {
+            indexJar(jar, packageToTypes);
+        }
+        writeCache(cacheDir, cacheFile, fingerprint, packageToTypes);
+        return new ClasspathIndex(packageToTypes);
+    }
+
+    /**
+     * 判断包下是否存在指定的顶层类型
+     */
+    public boolean contains(String packageName, String simpleName) {
+        Set<String> types = packageToTypes.get(packageName);
+        return types != null && types.contains(simpleName);
+    }
+
+    public int getPackageCount() {
+        return packageToTypes.size();
+    }
+
+    /**
+     * 展开类路径：jar 文件直接使用，目录则收集其中所有 jar 文件
+     */
+    private static List<Path> collectJars(String classpath) throws IOException {
+        List<Path> jars = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            Path path = Paths.get(entry.trim());
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> stream = Files.walk(path)) {
+                    jars.addAll(stream.filter(ClasspathIndex::isJar).sorted().collect(Collectors.toList()));
+                }
+            } else if (isJar(path)) {
+                jars.add(path);
+            } else {
+                System.err.println("忽略无效的类路径条目: " + entry);
+            }
+        }
+        return jars;
+    }
+
+    private static boolean isJar(Path path) {
+        return Files.isRegularFile(path) && path.toString().endsWith(".jar");
+    }
+
+    /**
+     * 缓存有效性标识：JDK 版本 + 每个 jar 的路径、大小和修改时间
+     */
+    private static String fingerprint(List<Path> jars) throws IOException {
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append(System.getProperty("java.home")).append('|')
+                .append(System.getProperty("java.version")).append('\n');
+        for (Path jar : jars) {
+            fingerprint.append(jar.toAbsolutePath()).append('|')
+                    .append(Files.size(jar)).append('|')
+                    .append(Files.getLastModifiedTime(jar).toMillis()).append('\n');
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * 索引 JDK：Java 9 及以上读取 jrt 文件系统，Java 8 读取 rt.jar
+     */
+    private static void indexJdk(Map<String, Set<String>> packageToTypes) throws IOException {
+        Path rtJar = Paths.get(System.getProperty("java.home"), "lib", "rt.jar");
+        if (Files.isRegularFile(rtJar)) {
+            indexJar(rtJar, packageToTypes);
+            return;
+        }
+
+        FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        try (Stream<Path> modules = Files.list(jrt.getPath("/modules"))) {
+            for (Path module : modules.collect(Collectors.toList())) {
+                indexClasses(module, packageToTypes);
+            }
+        }
+    }
+
+    private static void indexJar(Path jar, Map<String, Set<String>> packageToTypes) {
+        // zipfs 只解析 jar 的中央目录
+        try (FileSystem fs = FileSystems.newFileSystem(jar, (ClassLoader) null)) {
+            indexClasses(fs.getPath("/"), packageToTypes);
+        } catch (IOException e) {
+            System.err.println("读取jar文件时出错: " + jar + " " + e.getMessage());
+        }
+    }
+
+    /**
+     * 收集根目录下所有顶层类的 包名 -> 类名
+     */
+    private static void indexClasses(Path root, Map<String, Set<String>> packageToTypes) throws IOException {
+        try (Stream<Path> stream = Files.walk(root)) {
+            stream.forEach(path -> {
+                String relative = root.relativize(path).toString();
+                if (!relative.endsWith(".class") || relative.startsWith("META-INF")) {
+                    return;
+                }
+                String fileName = path.getFileName().toString();
+                String simpleName = fileName.substring(0, fileName.length() - ".class".length());
+                // 跳过内部类、匿名类以及 module-info / package-info
+                if (simpleName.indexOf('$') >= 0 || simpleName.indexOf('-') >= 0) {
+                    return;
+                }
+                int slash = relative.lastIndexOf('/');
+                String packageName = slash < 0 ? "" : relative.substring(0, slash).replace('/', '.');
+                packageToTypes.computeIfAbsent(packageName, k -> new HashSet<>()).add(simpleName);
+            });
+        }
+    }
+
+    private static Map<String, Set<String>> readCache(Path cacheFile, String fingerprint) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != CACHE_MAGIC || in.readInt() != CACHE_VERSION) {
+                return null;
+            }
+            if (!fingerprint.equals(readLongString(in))) {
+                return null;
+            }
+            int packageCount = in.readInt();
+            Map<String, Set<String>> packageToTypes = new HashMap<>(packageCount * 2);
+            for (int i = 0; i < packageCount; i++) {
+                String packageName = in.readUTF();
+                int typeCount = in.readInt();
+                Set<String> types = new HashSet<>(typeCount * 2);
+                for (int j = 0; j < typeCount; j++) {
+                    types.add(in.readUTF());
+                }
+                packageToTypes.put(packageName, types);
+            }
+            return packageToTypes;
+        } catch (IOException e) {
+            System.err.println("读取类路径索引缓存时出错，将重新扫描: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeCache(Path cacheDir, Path cacheFile, String fingerprint,
+                                   Map<String, Set<String>> packageToTypes) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheDir);
+            // 先写临时文件再替换，避免并发运行读到不完整的缓存
+            tempFile = Files.createTempFile(cacheDir, "classpath-", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(CACHE_MAGIC);
+                out.writeInt(CACHE_VERSION);
+                writeLongString(out, fingerprint);
+                out.writeInt(packageToTypes.size());
+                for (Map.Entry<String, Set<String>> entry : packageToTypes.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for (String type : entry.getValue()) {
+                        out.writeUTF(type);
+                    }
+                }
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            tempFile = null;
+        } catch (IOException e) {
+            System.err.println("写入类路径索引缓存时出错: " + e.getMessage());
+        } finally {
+            // 写入或替换失败时清理临时文件
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // 清理失败不影响索引结果
+                }
+            }
+        }
+    }
+
+    /**
+     * writeUTF 限制 64KB，类路径较长时标识可能超出
+     */
+    private static void writeLongString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readLongString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_FINGERPRINT_LENGTH) {
+            throw new IOException("缓存文件已损坏");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
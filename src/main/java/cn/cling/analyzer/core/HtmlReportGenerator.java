@@ -0,0 +1,267 @@
+package cn.cling.analyzer.core;
+
+import cn.cling.analyzer.model.ClassInfo;
+import cn.cling.analyzer.model.MethodInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * HTML格式的分页代码分析报告
+ * 输出目录结构：index.html + data/packages.js（包清单）+ data/search.js（搜索索引）+ data/pkg-包序号-分块序号.js
+ * 数据文件按包分块，由页面按需懒加载，报告大小不影响首页打开速度
+ */
+public class HtmlReportGenerator {
+    // 每个数据分块包含的最大类数
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * @param classList 类信息列表
+     * @param outputDir 报告输出目录
+     */
+    public void generateReport(List<ClassInfo> classList, String outputDir) throws IOException {
+        Path root = Paths.get(outputDir);
+        Path dataDir = root.resolve("data");
+        Files.createDirectories(dataDir);
+
+        // 按包名分组并排序，包在列表中的下标即为包序号
+        Map<String, List<ClassInfo>> grouped = new TreeMap<>();
+        for (ClassInfo cls : classList) {
+            grouped.computeIfAbsent(cls.getPackageName(), k -> new ArrayList<>()).add(cls);
+        }
+        List<String> packageNames = new ArrayList<>(grouped.keySet());
+        List<List<ClassInfo>> packages = new ArrayList<>(grouped.values());
+
+        // 各包的数据文件互不相关，并行写出
+        PackageSummary[] summaries = new PackageSummary[packages.size()];
+        try {
+            IntStream.range(0, packages.size()).parallel().forEach(id -> {
+                try {
+                    summaries[id] = writePackage(dataDir, id, packageNames.get(id), packages.get(id));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writePackageIndex(dataDir.resolve("packages.js"), summaries);
+        writeSearchIndex(dataDir.resolve("search.js"), packages);
+        copyIndexPage(root.resolve("index.html"));
+    }
+
+    /**
+     * 写出单个包的全部数据分块
+     * @return 该包的汇总信息
+     */
+    private PackageSummary writePackage(Path dataDir, int id, String packageName, List<ClassInfo> classes)
+            throws IOException {
+        PackageSummary summary = new PackageSummary(id, packageName);
+        summary.parts = (classes.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        for (int part = 0; part < summary.parts; part++) {
+            List<ClassInfo> chunk = classes.subList(part * CHUNK_SIZE,
+                    Math.min(classes.size(), (part + 1) * CHUNK_SIZE));
+
+            try (Writer out = Files.newBufferedWriter(dataDir.resolve("pkg-" + id + "-" + part + ".js"),
+                    StandardCharsets.UTF_8)) {
+                out.write("ReportData.chunk(" + id + "," + part + ",[");
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (i > 0) {
+                        out.write(",\n");
+                    }
+                    summary.add(chunk.get(i), writeClass(out, chunk.get(i)));
+                }
+                out.write("]);\n");
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * 写出单个类的数据
+     * @return 该类的圈复杂度
+     */
+    private int writeClass(Writer out, ClassInfo cls) throws IOException {
+        int classComplexity = 0;
+
+        out.write("{\"name\":");
+        writeString(out, cls.getClassName());
+        out.write(",\"isInterface\":" + cls.isInterface());
+        out.write(",\"fields\":" + cls.getFields().size());
+        out.write(",\"comment\":" + cls.getCommentRatio());
+
+        // 方法以 [方法名, 参数个数, 代码行数, 圈复杂度] 的紧凑数组形式写出
+        out.write(",\"methods\":[");
+        boolean first = true;
+        for (MethodInfo method : cls.getMethods()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            out.write('[');
+            writeString(out, method.getName());
+            out.write("," + method.getParameterCount() + "," + method.getLineCount()
+                    + "," + method.getCyclomaticComplexity() + "]");
+            classComplexity += method.getCyclomaticComplexity();
+        }
+
+        out.write("],\"deps\":[");
+        first = true;
+        for (String dependency : cls.getDependencies()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            writeString(out, dependency);
+        }
+
+        out.write("],\"complexity\":" + classComplexity + "}");
+        return classComplexity;
+    }
+
+    /**
+     * 写出包清单和项目整体的度量汇总
+     */
+    private void writePackageIndex(Path path, PackageSummary[] summaries) throws IOException {
+        int totalClasses = 0;
+        int totalMethods = 0;
+        long totalComplexity = 0;
+        long totalCommentRatio = 0;
+
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("ReportData.packages([");
+            for (int i = 0; i < summaries.length; i++) {
+                PackageSummary summary = summaries[i];
+                if (i > 0) {
+                    out.write(",\n");
+                }
+                out.write("{\"id\":" + summary.id + ",\"name\":");
+                writeString(out, summary.name);
+                out.write(",\"parts\":" + summary.parts);
+                out.write(",\"classes\":" + summary.classes);
+                out.write(",\"methods\":" + summary.methods);
+                out.write(",\"complexity\":" + summary.complexity);
+                out.write(",\"avgComment\":"
+                        + String.format(Locale.ROOT, "%.1f", (double) summary.commentRatio / summary.classes) + "}");
+
+                totalClasses += summary.classes;
+                totalMethods += summary.methods;
+                totalComplexity += summary.complexity;
+                totalCommentRatio += summary.commentRatio;
+            }
+            out.write("]);\n");
+
+            double avgComplexity = totalMethods > 0 ? (double) totalComplexity / totalMethods : 0;
+            double avgCommentRatio = totalClasses > 0 ? (double) totalCommentRatio / totalClasses : 0;
+            out.write(String.format(Locale.ROOT, "ReportData.summary({\"classes\":%d,\"methods\":%d,"
+                    + "\"avgComplexity\":%.4f,\"avgComment\":%.4f});\n",
+                    totalClasses, totalMethods, avgComplexity, avgCommentRatio));
+        }
+    }
+
+    /**
+     * 写出搜索索引，每项为 [包序号, 类名]，仅在首次搜索时加载
+     */
+    private void writeSearchIndex(Path path, List<List<ClassInfo>> packages) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("ReportData.search([");
+            boolean first = true;
+            for (int id = 0; id < packages.size(); id++) {
+                for (ClassInfo cls : packages.get(id)) {
+                    if (!first) {
+                        out.write(",\n");
+                    }
+                    first = false;
+                    out.write("[" + id + ",");
+                    writeString(out, cls.getClassName());
+                    out.write(']');
+                }
+            }
+            out.write("]);\n");
+        }
+    }
+
+    private void copyIndexPage(Path path) throws IOException {
+        try (InputStream in = HtmlReportGenerator.class.getResourceAsStream("/html/index.html")) {
+            if (in == null) {
+                throw new IOException("缺少报告页面模板: /html/index.html");
+            }
+            Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 以 JSON 字符串字面量的形式写出文本
+     */
+    private void writeString(Writer out, String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    // 控制字符及 JS 中的行分隔符需要转义
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+    /**
+     * 单个包的汇总信息
+     */
+    private static class PackageSummary {
+        private final int id;
+        private final String name;
+        private int parts;
+        private int classes;
+        private int methods;
+        private long complexity;
+        private long commentRatio;
+
+        PackageSummary(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        void add(ClassInfo cls, int classComplexity) {
+            classes++;
+            methods += cls.getMethods().size();
+            complexity += classComplexity;
+            commentRatio += cls.getCommentRatio();
+        }
+    }
+}
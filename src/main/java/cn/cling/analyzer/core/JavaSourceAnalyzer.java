@@ -30,6 +30,23 @@ public class JavaSourceAnalyzer {
     private final List<ClassInfo> classList = new ArrayList<>();
     // 存储类名和包路径的映射，用于解析完整类名
     private final Map<String, String> classToPackageMap = new HashMap<>();
+    // 包名 -> 该包下项目中声明的类名，用于按 Java 作用域规则解析
+    private final Map<String, Set<String>> packageToClasses = new HashMap<>();
+    // 完整类名（含嵌套类型）-> 类型作用域，用于查找成员类型及继承的成员类型
+    private final Map<String, TypeScope> typeScopes = new HashMap<>();
+    // 类路径索引，未指定时为 null
+    private final ClasspathIndex classpathIndex;
+
+    public JavaSourceAnalyzer() {
+        this(null);
+    }
+
+    /**
+     * @param classpathIndex 用于解析 JDK 及第三方依赖类名的类路径索引
+     */
+    public JavaSourceAnalyzer(ClasspathIndex classpathIndex) {
+        this.classpathIndex = classpathIndex;
+    }
 
     public List<ClassInfo> analyzeDirectory(String directoryPath) throws IOException {
         List<Path> javaFiles = FileUtils.getJavaFiles(Paths.get(directoryPath));
@@ -60,9 +77,12 @@ public class JavaSourceAnalyzer {
                     .map(pkg -> pkg.getNameAsString())
                     .orElse("");
                     
+            FileScope fileScope = buildFileScope(cu, packageName);
             for (TypeDeclaration<?> type : cu.getTypes()) {
                 String className = type.getNameAsString();
                 classToPackageMap.put(className, packageName);
+                packageToClasses.computeIfAbsent(packageName, k -> new HashSet<>()).add(className);
+                registerTypeScope(type, qualify(packageName, className), null, fileScope);
             }
         } catch (IOException e) {
             System.err.println("构建类名映射时出错: " + e.getMessage());
@@ -89,15 +109,10 @@ public class JavaSourceAnalyzer {
                 .map(pkg -> pkg.getNameAsString())
                 .orElse("");
 
-        // 保存导入的类
-        Map<String, String> importedClasses = new HashMap<>();
-        for (ImportDeclaration importDecl : cu.getImports()) {
-            String importName = importDecl.getNameAsString();
-            String simpleName = importName.substring(importName.lastIndexOf('.') + 1);
-            importedClasses.put(simpleName, importName);
-        }
+        FileScope fileScope = buildFileScope(cu, packageName);
 
         for (TypeDeclaration<?> type : cu.getTypes()) {
+            TypeScope scope = registerTypeScope(type, qualify(packageName, type.getNameAsString()), null, fileScope);
             ClassInfo classInfo = new ClassInfo();
             classInfo.setPackageName(packageName);
             classInfo.setClassName(type.getNameAsString());
@@ -108,29 +123,83 @@ public class JavaSourceAnalyzer {
             calculateCommentRatio(type, classInfo);
             
             // 分析继承关系和实现的接口
-            analyzeInheritance(type, classInfo, importedClasses);
+            analyzeInheritance(type, classInfo, scope);
             
             // 收集类的字段信息
-            collectClassFields(type, classInfo, importedClasses);
+            collectClassFields(type, classInfo, scope);
             
             // 收集类的方法信息
-            collectClassMethods(type, classInfo, packageName, importedClasses);
+            collectClassMethods(type, classInfo, packageName, scope);
 
             classList.add(classInfo);
         }
     }
     
+    /**
+     * 收集文件的导入信息，通配符导入记录其包名
+     */
+    private FileScope buildFileScope(CompilationUnit cu, String packageName) {
+        FileScope fileScope = new FileScope(packageName);
+        for (ImportDeclaration importDecl : cu.getImports()) {
+            String importName = importDecl.getNameAsString();
+            if (importDecl.isAsterisk()) {
+                if (!importDecl.isStatic()) {
+                    fileScope.onDemandPackages.add(importName);
+                }
+                continue;
+            }
+            String simpleName = importName.substring(importName.lastIndexOf('.') + 1);
+            if (importDecl.isStatic()) {
+                // import static a.Outer.Inner; 可导入静态嵌套类型，首字母大写的成员视为类型
+                if (Character.isUpperCase(simpleName.charAt(0))) {
+                    fileScope.importedClasses.putIfAbsent(simpleName, importName);
+                }
+                continue;
+            }
+            fileScope.importedClasses.put(simpleName, importName);
+        }
+        return fileScope;
+    }
+
+    /**
+     * 记录类型及其嵌套类型的成员类型和父类型
+     * @param name 类型的完整名称，嵌套类型为 外部类完整名.类型名
+     * @param topLevelName 所属顶层类的完整类名，顶层类传 null
+     */
+    private TypeScope registerTypeScope(TypeDeclaration<?> type, String name, String topLevelName,
+                                        FileScope fileScope) {
+        TypeScope scope = new TypeScope(topLevelName == null ? name : topLevelName, fileScope);
+        if (type instanceof ClassOrInterfaceDeclaration) {
+            ClassOrInterfaceDeclaration classOrInterface = (ClassOrInterfaceDeclaration) type;
+            for (ClassOrInterfaceType extendedType : classOrInterface.getExtendedTypes()) {
+                scope.superTypes.add(extendedType.getNameWithScope());
+            }
+            for (ClassOrInterfaceType implementedType : classOrInterface.getImplementedTypes()) {
+                scope.superTypes.add(implementedType.getNameWithScope());
+            }
+        }
+        for (BodyDeclaration<?> member : type.getMembers()) {
+            if (member instanceof TypeDeclaration) {
+                TypeDeclaration<?> memberType = (TypeDeclaration<?>) member;
+                scope.memberTypes.add(memberType.getNameAsString());
+                registerTypeScope(memberType, name + "." + memberType.getNameAsString(), scope.topLevelName, fileScope);
+            }
+        }
+        typeScopes.put(name, scope);
+        return scope;
+    }
+
     /**
      * 分析类的继承和接口实现关系
      */
-    private void analyzeInheritance(TypeDeclaration<?> type, ClassInfo classInfo, Map<String, String> importedClasses) {
+    private void analyzeInheritance(TypeDeclaration<?> type, ClassInfo classInfo, TypeScope scope) {
         if (type instanceof ClassOrInterfaceDeclaration) {
             ClassOrInterfaceDeclaration classOrInterface = (ClassOrInterfaceDeclaration) type;
             
             // 添加父类依赖
             for (ClassOrInterfaceType extendedType : classOrInterface.getExtendedTypes()) {
                 String typeName = extendedType.getNameAsString();
-                String fullName = resolveFullClassName(typeName, importedClasses);
+                String fullName = resolveFullClassName(typeName, scope);
                 if (fullName != null) {
                     classInfo.addDependency(fullName);
                 }
@@ -139,7 +208,7 @@ public class JavaSourceAnalyzer {
             // 添加接口依赖
             for (ClassOrInterfaceType implementedType : classOrInterface.getImplementedTypes()) {
                 String typeName = implementedType.getNameAsString();
-                String fullName = resolveFullClassName(typeName, importedClasses);
+                String fullName = resolveFullClassName(typeName, scope);
                 if (fullName != null) {
                     classInfo.addDependency(fullName);
                 }
@@ -166,14 +235,14 @@ public class JavaSourceAnalyzer {
     /**
      * 收集类的字段信息
      */
-    private void collectClassFields(TypeDeclaration<?> type, ClassInfo classInfo, Map<String, String> importedClasses) {
+    private void collectClassFields(TypeDeclaration<?> type, ClassInfo classInfo, TypeScope scope) {
         type.getFields().forEach(field -> {
             for (VariableDeclarator variable : field.getVariables()) {
                 classInfo.getFields().add(variable.getNameAsString());
                 
                 // 添加字段类型依赖
                 String typeName = variable.getType().asString();
-                String fullName = resolveFullClassName(typeName, importedClasses);
+                String fullName = resolveFullClassName(typeName, scope);
                 if (fullName != null) {
                     classInfo.addDependency(fullName);
                 }
@@ -185,7 +254,7 @@ public class JavaSourceAnalyzer {
      * 收集类的方法信息
      */
     private void collectClassMethods(TypeDeclaration<?> type, ClassInfo classInfo, String packageName, 
-                                      Map<String, String> importedClasses) {
+                                      TypeScope scope) {
         for (BodyDeclaration<?> member : type.getMembers()) {
             if (member instanceof MethodDeclaration) {
                 MethodDeclaration method = (MethodDeclaration) member;
@@ -206,7 +275,7 @@ public class JavaSourceAnalyzer {
                 // 添加返回类型依赖
                 String returnTypeName = method.getType().asString();
                 if (!returnTypeName.equals("void")) {
-                    String fullReturnType = resolveFullClassName(returnTypeName, importedClasses);
+                    String fullReturnType = resolveFullClassName(returnTypeName, scope);
                     if (fullReturnType != null) {
                         classInfo.addDependency(fullReturnType);
                     }
@@ -215,14 +284,14 @@ public class JavaSourceAnalyzer {
                 // 添加参数类型依赖
                 for (Parameter param : method.getParameters()) {
                     String paramTypeName = param.getType().asString();
-                    String fullParamType = resolveFullClassName(paramTypeName, importedClasses);
+                    String fullParamType = resolveFullClassName(paramTypeName, scope);
                     if (fullParamType != null) {
                         classInfo.addDependency(fullParamType);
                     }
                 }
 
                 // 分析方法中的方法调用
-                analyzeMethodCalls(method, packageName + "." + classInfo.getClassName(), classInfo, importedClasses);
+                analyzeMethodCalls(method, packageName + "." + classInfo.getClassName(), classInfo, scope);
             }
         }
     }
@@ -255,17 +324,17 @@ public class JavaSourceAnalyzer {
      * 分析方法中的方法调用关系
      */
     private void analyzeMethodCalls(MethodDeclaration method, String callerFullName, ClassInfo classInfo, 
-                                     Map<String, String> importedClasses) {
+                                     TypeScope scope) {
         method.accept(new VoidVisitorAdapter<Void>() {
             @Override
             public void visit(MethodCallExpr call, Void arg) {
                 super.visit(call, arg);
 
                 // 解析被调用的方法所属的类
-                call.getScope().ifPresent(scope -> {
-                    String calleeClass = scope.toString();
+                call.getScope().ifPresent(callScope -> {
+                    String calleeClass = callScope.toString();
                     // 尝试解析完整类名
-                    String fullName = resolveFullClassName(calleeClass, importedClasses);
+                    String fullName = resolveFullClassName(calleeClass, scope);
                     if (fullName != null) {
                         classInfo.addDependency(fullName);
                     }
@@ -278,7 +347,7 @@ public class JavaSourceAnalyzer {
                 
                 // 处理方法体内部的类型引用
                 String typeName = type.getNameAsString();
-                String fullName = resolveFullClassName(typeName, importedClasses);
+                String fullName = resolveFullClassName(typeName, scope);
                 if (fullName != null) {
                     classInfo.addDependency(fullName);
                 }
@@ -288,21 +357,35 @@ public class JavaSourceAnalyzer {
     
     /**
      * 解析完整类名
+     * 指定了类路径索引时按 Java 作用域规则解析，无法解析的类名不再作为依赖返回
      * @param simpleName 简单类名
-     * @param importedClasses 导入的类映射表
+     * @param scope 引用所在类的作用域
      * @return 完整类名
      */
-    private String resolveFullClassName(String simpleName, Map<String, String> importedClasses) {
+    private String resolveFullClassName(String simpleName, TypeScope scope) {
         if (simpleName.contains("<")) {
             simpleName = simpleName.substring(0, simpleName.indexOf('<'));
         }
+        if (simpleName.endsWith("[]")) {
+            simpleName = simpleName.substring(0, simpleName.indexOf('['));
+        }
 
         if (isBasicType(simpleName)) {
             return null;
         }
 
-        if (importedClasses.containsKey(simpleName)) {
-            return importedClasses.get(simpleName);
+        // 本类及父类的成员类型优先于导入，依赖于声明它的顶层类
+        String memberOwner = resolveMemberType(simpleName, scope, new HashSet<>());
+        if (memberOwner != null) {
+            return memberOwner;
+        }
+
+        if (scope.file.importedClasses.containsKey(simpleName)) {
+            return scope.file.importedClasses.get(simpleName);
+        }
+
+        if (classpathIndex != null) {
+            return resolveInScope(simpleName, scope);
         }
 
         if (classToPackageMap.containsKey(simpleName)) {
@@ -317,6 +400,107 @@ public class JavaSourceAnalyzer {
         return null;
     }
 
+    /**
+     * 结合项目类与类路径索引解析类名，在成员类型与单类型导入之后依次查找：本包、按需导入的包（含 java.lang）
+     * @param name 简单类名或完整类名
+     * @param scope 引用所在类的作用域
+     * @return 完整类名，无法解析时返回 null
+     */
+    private String resolveInScope(String name, TypeScope scope) {
+        String[] segments = name.split("\\.");
+        if (segments.length > 1) {
+            // 形如 Map.Entry、System.out 的引用，依赖于最外层的类
+            if (!segments[0].isEmpty() && Character.isUpperCase(segments[0].charAt(0))) {
+                return resolveFullClassName(segments[0], scope);
+            }
+            // 完整类名：从左向右查找第一个存在的类型，如 java.util.Map.Entry 依赖于 java.util.Map
+            String packageName = segments[0];
+            for (int i = 1; i < segments.length; i++) {
+                if (typeExists(packageName, segments[i])) {
+                    return packageName + "." + segments[i];
+                }
+                if (segments[i].isEmpty() || Character.isUpperCase(segments[i].charAt(0))) {
+                    return null;
+                }
+                packageName = packageName + "." + segments[i];
+            }
+            return null;
+        }
+
+        if (typeExists(scope.file.packageName, name)) {
+            return qualify(scope.file.packageName, name);
+        }
+        for (String packageName : scope.file.onDemandPackages) {
+            if (typeExists(packageName, name)) {
+                return packageName + "." + name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断包下是否存在指定类型（项目中声明或类路径中存在）
+     */
+    private boolean typeExists(String packageName, String simpleName) {
+        Set<String> classes = packageToClasses.get(packageName);
+        return (classes != null && classes.contains(simpleName)) || classpathIndex.contains(packageName, simpleName);
+    }
+
+    /**
+     * 在类型自身及其父类型（仅限项目中声明的类型）的成员类型中查找
+     * @return 声明该成员类型的顶层类完整类名，未找到时返回 null
+     */
+    private String resolveMemberType(String name, TypeScope scope, Set<TypeScope> visited) {
+        if (scope == null || name.indexOf('.') >= 0 || !visited.add(scope)) {
+            return null;
+        }
+        if (scope.memberTypes.contains(name)) {
+            return scope.topLevelName;
+        }
+        for (String superType : scope.superTypes) {
+            String owner = resolveMemberType(name, findTypeScope(superType, scope.file), visited);
+            if (owner != null) {
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按声明文件的导入信息查找项目中的类型
+     * @param name 父类型名称，可能带外部类或包名
+     */
+    private TypeScope findTypeScope(String name, FileScope fileScope) {
+        if (name.contains("<")) {
+            name = name.substring(0, name.indexOf('<'));
+        }
+        TypeScope scope = typeScopes.get(name);
+        if (scope != null) {
+            return scope;
+        }
+
+        int dot = name.indexOf('.');
+        String first = dot < 0 ? name : name.substring(0, dot);
+        String rest = dot < 0 ? "" : name.substring(dot);
+        String imported = fileScope.importedClasses.get(first);
+        if (imported != null && (scope = typeScopes.get(imported + rest)) != null) {
+            return scope;
+        }
+        if ((scope = typeScopes.get(qualify(fileScope.packageName, name))) != null) {
+            return scope;
+        }
+        for (String packageName : fileScope.onDemandPackages) {
+            if ((scope = typeScopes.get(packageName + "." + name)) != null) {
+                return scope;
+            }
+        }
+        return null;
+    }
+
+    private String qualify(String packageName, String name) {
+        return packageName.isEmpty() ? name : packageName + "." + name;
+    }
+
     private boolean isBasicType(String typeName) {
         Set<String> basicTypes = new HashSet<>(Arrays.asList(
             "void", "boolean", "byte", "char", "short", "int", "long", "float", "double",
@@ -325,4 +509,37 @@ public class JavaSourceAnalyzer {
         ));
         return basicTypes.contains(typeName);
     }
+
+    /**
+     * 单个源文件的导入作用域
+     */
+    private static class FileScope {
+        private final String packageName;
+        // 单类型导入：简单类名 -> 完整类名
+        private final Map<String, String> importedClasses = new HashMap<>();
+        // 按需导入的包，java.lang 隐式导入
+        private final List<String> onDemandPackages = new ArrayList<>();
+
+        FileScope(String packageName) {
+            this.packageName = packageName;
+            onDemandPackages.add("java.lang");
+        }
+    }
+
+    /**
+     * 单个类型的作用域：成员类型与父类型
+     */
+    private static class TypeScope {
+        // 所属顶层类的完整类名
+        private final String topLevelName;
+        private final FileScope file;
+        private final Set<String> memberTypes = new HashSet<>();
+        // 父类和实现的接口，保留源码中的写法
+        private final List<String> superTypes = new ArrayList<>();
+
+        TypeScope(String topLevelName, FileScope file) {
+            this.topLevelName = topLevelName;
+            this.file = file;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package cn.cling.analyzer.core;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ClasspathIndex 的 jar 扫描与缓存
+ */
+public class ClasspathIndexTest {
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void indexesJdkAndTopLevelJarClasses() throws IOException {
+        Path jar = writeJar("lib.jar", "com/example/Foo.class", "com/example/Foo$Inner.class",
+                "com/example/package-info.class", "META-INF/versions/9/com/example/Bar.class");
+
+        ClasspathIndex index = ClasspathIndex.load(jar.toString(), temp.newFolder("cache").toPath());
+
+        assertTrue(index.contains("java.util", "List"));
+        assertTrue(index.contains("java.lang", "String"));
+        assertTrue(index.contains("com.example", "Foo"));
+        assertFalse(index.contains("com.example", "Foo$Inner"));
+        assertFalse(index.contains("com.example", "package-info"));
+        assertFalse(index.contains("com.example", "Bar"));
+    }
+
+    @Test
+    public void scansJarsInDirectory() throws IOException {
+        writeJar("dependency/a.jar", "org/a/A.class");
+        writeJar("dependency/b.jar", "org/b/B.class");
+
+        ClasspathIndex index = ClasspathIndex.load(temp.getRoot().toPath().resolve("dependency").toString(),
+                temp.newFolder("cache").toPath());
+
+        assertTrue(index.contains("org.a", "A"));
+        assertTrue(index.contains("org.b", "B"));
+    }
+
+    @Test
+    public void reusesCacheUntilJarChanges() throws IOException {
+        Path jar = writeJar("lib.jar", "com/example/Foo.class");
+        Path cacheDir = temp.newFolder("cache").toPath();
+
+        ClasspathIndex first = ClasspathIndex.load(jar.toString(), cacheDir);
+        Path cacheFile = singleCacheFile(cacheDir);
+        FileTime written = Files.getLastModifiedTime(cacheFile);
+
+        // 缓存命中时不重写缓存文件，结果与首次扫描一致
+        ClasspathIndex cached = ClasspathIndex.load(jar.toString(), cacheDir);
+        assertEquals(written, Files.getLastModifiedTime(cacheFile));
+        assertEquals(first.getPackageCount(), cached.getPackageCount());
+        assertTrue(cached.contains("com.example", "Foo"));
+        assertTrue(cached.contains("java.util", "List"));
+
+        // jar 变化后重新扫描
+        writeJar("lib.jar", "com/example/Foo.class", "com/example/Baz.class");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(written.toMillis() + 10_000));
+        ClasspathIndex rescanned = ClasspathIndex.load(jar.toString(), cacheDir);
+        assertTrue(rescanned.contains("com.example", "Baz"));
+        assertTrue(ClasspathIndex.load(jar.toString(), cacheDir).contains("com.example", "Baz"));
+    }
+
+    @Test
+    public void removesTempFileWhenCacheWriteFails() throws IOException {
+        Path jar = writeJar("lib.jar", "com/example/Foo.class");
+        Path cacheDir = temp.newFolder("cache").toPath();
+        ClasspathIndex.load(jar.toString(), cacheDir);
+
+        // 缓存文件位置被非空目录占用，替换失败
+        Path cacheFile = singleCacheFile(cacheDir);
+        Files.delete(cacheFile);
+        Files.createDirectories(cacheFile.resolve("blocked"));
+
+        ClasspathIndex index = ClasspathIndex.load(jar.toString(), cacheDir);
+        assertTrue(index.contains("com.example", "Foo"));
+        assertEquals(cacheFile, singleCacheFile(cacheDir));
+    }
+
+    private Path writeJar(String relativePath, String... entries) throws IOException {
+        Path jar = temp.getRoot().toPath().resolve(relativePath);
+        Files.createDirectories(jar.getParent());
+        try (OutputStream file = Files.newOutputStream(jar);
+             JarOutputStream out = new JarOutputStream(file)) {
+            for (String entry : entries) {
+                // 索引只读取目录结构，类文件内容无关紧要
+                out.putNextEntry(new ZipEntry(entry));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private Path singleCacheFile(Path cacheDir) throws IOException {
+        try (Stream<Path> stream = Files.list(cacheDir)) {
+            List<Path> files = stream.collect(Collectors.toList());
+            assertEquals(1, files.size());
+            return files.get(0);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package cn.cling.analyzer.core;
+
+import cn.cling.analyzer.model.ClassInfo;
+import cn.cling.analyzer.model.MethodInfo;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * HtmlReportGenerator 输出的数据文件与 index.html 之间的约定
+ */
+public class HtmlReportGeneratorTest {
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void splitsLargePackageIntoChunks() throws IOException {
+        List<ClassInfo> classList = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            classList.add(classInfo("com.big", "Big" + i, 1));
+        }
+        Path outputDir = generate(classList);
+
+        // 只有一个包，包序号为 0
+        Path dataDir = outputDir.resolve("data");
+        assertTrue(Files.exists(dataDir.resolve("pkg-0-0.js")));
+        assertTrue(Files.exists(dataDir.resolve("pkg-0-1.js")));
+        assertFalse(Files.exists(dataDir.resolve("pkg-0-2.js")));
+        assertEquals(500, countOccurrences(read(dataDir.resolve("pkg-0-0.js")), "{\"name\":"));
+        assertEquals(1, countOccurrences(read(dataDir.resolve("pkg-0-1.js")), "{\"name\":"));
+        assertTrue(read(dataDir.resolve("pkg-0-1.js")).startsWith("ReportData.chunk(0,1,["));
+
+        String packages = read(dataDir.resolve("packages.js"));
+        assertTrue(packages, packages.contains("{\"id\":0,\"name\":\"com.big\",\"parts\":2,\"classes\":501,"));
+        assertTrue(Files.exists(outputDir.resolve("index.html")));
+    }
+
+    @Test
+    public void escapesStringsForJavaScript() throws IOException {
+        ClassInfo cls = classInfo("com.example", "Weird", 0);
+        MethodInfo method = new MethodInfo();
+        method.setName("q\"b\\s\u0001t\tn\nl\u2028p\u2029");
+        cls.addMethod(method);
+        Path outputDir = generate(Arrays.asList(cls));
+
+        String chunk = read(outputDir.resolve("data").resolve("pkg-0-0.js"));
+        assertTrue(chunk, chunk.contains("[\"q\\\"b\\\\s\\u0001t\\tn\\nl\\u2028p\\u2029\",0,0,0]"));
+        // 除换行分隔外不应出现未转义的控制字符和 JS 行分隔符
+        String body = chunk.substring("ReportData.chunk(0,0,".length(), chunk.length() - ");\n".length());
+        for (char c : body.toCharArray()) {
+            assertTrue("未转义字符: " + (int) c, (c >= 0x20 || c == '\n') && c != '\u2028' && c != '\u2029');
+        }
+    }
+
+    @Test
+    public void writesDefaultPackageAndSummaryTotals() throws IOException {
+        ClassInfo noPackage = classInfo("", "Main", 3);
+        noPackage.setCommentRatio(10);
+        ClassInfo other = classInfo("com.example", "Helper", 1);
+        other.setCommentRatio(20);
+        Path outputDir = generate(Arrays.asList(other, noPackage));
+
+        String packages = read(outputDir.resolve("data").resolve("packages.js"));
+        // 包按名称排序，默认包排在最前
+        assertTrue(packages, packages.contains("{\"id\":0,\"name\":\"\",\"parts\":1,\"classes\":1,\"methods\":3,"
+                + "\"complexity\":6,\"avgComment\":10.0}"));
+        assertTrue(packages, packages.contains("{\"id\":1,\"name\":\"com.example\",\"parts\":1,\"classes\":1,"
+                + "\"methods\":1,\"complexity\":2,\"avgComment\":20.0}"));
+        assertTrue(packages, packages.contains("ReportData.summary({\"classes\":2,\"methods\":4,"
+                + "\"avgComplexity\":2.0000,\"avgComment\":15.0000});"));
+
+        String search = read(outputDir.resolve("data").resolve("search.js"));
+        assertEquals("ReportData.search([[0,\"Main\"],\n[1,\"Helper\"]]);\n", search);
+    }
+
+    @Test(expected = IOException.class)
+    public void propagatesIOExceptionFromParallelWrite() throws IOException {
+        Path outputDir = temp.newFolder("report").toPath();
+        // 数据文件路径被目录占用，写出时抛出 IOException
+        Files.createDirectories(outputDir.resolve("data").resolve("pkg-1-0.js"));
+
+        List<ClassInfo> classList = Arrays.asList(classInfo("a", "A", 1), classInfo("b", "B", 1),
+                classInfo("c", "C", 1));
+        new HtmlReportGenerator().generateReport(classList, outputDir.toString());
+    }
+
+    /**
+     * @param methodCount 方法数，每个方法的圈复杂度为 2
+     */
+    private ClassInfo classInfo(String packageName, String className, int methodCount) {
+        ClassInfo cls = new ClassInfo();
+        cls.setPackageName(packageName);
+        cls.setClassName(className);
+        for (int i = 0; i < methodCount; i++) {
+            MethodInfo method = new MethodInfo();
+            method.setName("method" + i);
+            method.setCyclomaticComplexity(2);
+            cls.addMethod(method);
+        }
+        return cls;
+    }
+
+    private Path generate(List<ClassInfo> classList) throws IOException {
+        Path outputDir = temp.newFolder("report").toPath();
+        new HtmlReportGenerator().generateReport(classList, outputDir.toString());
+        return outputDir;
+    }
+
+    private String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    private int countOccurrences(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,214 @@
+package cn.cling.analyzer.core;
+
+import cn.cling.analyzer.model.ClassInfo;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 指定类路径索引时 JavaSourceAnalyzer 的类名解析
+ */
+public class JavaSourceAnalyzerTest {
+    @ClassRule
+    public static final TemporaryFolder CACHE_DIR = new TemporaryFolder();
+
+    private static ClasspathIndex jdkIndex;
+
+    @Rule
+    public final TemporaryFolder sourceDir = new TemporaryFolder();
+
+    @BeforeClass
+    public static void loadJdkIndex() throws IOException {
+        jdkIndex = ClasspathIndex.load("", CACHE_DIR.getRoot().toPath());
+    }
+
+    @Test
+    public void wildcardImportWinsOverSameNamedClassInOtherPackage() throws IOException {
+        writeSource("a/Logger.java", "package a;\npublic class Logger {}\n");
+        writeSource("b/Use.java", "package b;\n"
+                + "import java.util.logging.*;\n"
+                + "public class Use {\n"
+                + "    private Logger logger;\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Use");
+        assertTrue(dependencies.contains("java.util.logging.Logger"));
+        assertFalse(dependencies.contains("a.Logger"));
+    }
+
+    @Test
+    public void samePackageClassWinsOverWildcardImport() throws IOException {
+        writeSource("b/Logger.java", "package b;\npublic class Logger {}\n");
+        writeSource("b/Use.java", "package b;\n"
+                + "import java.util.logging.*;\n"
+                + "public class Use {\n"
+                + "    private Logger logger;\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Use");
+        assertTrue(dependencies.contains("b.Logger"));
+        assertFalse(dependencies.contains("java.util.logging.Logger"));
+    }
+
+    @Test
+    public void resolvesJavaLangClasses() throws IOException {
+        writeSource("b/Use.java", "package b;\n"
+                + "public class Use {\n"
+                + "    private Thread worker;\n"
+                + "    public void run() {\n"
+                + "        System.out.println(Math.max(1, 2));\n"
+                + "    }\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Use");
+        assertTrue(dependencies.contains("java.lang.Thread"));
+        assertTrue(dependencies.contains("java.lang.System"));
+        assertTrue(dependencies.contains("java.lang.Math"));
+    }
+
+    @Test
+    public void qualifiedNestedTypeDependsOnOuterClass() throws IOException {
+        writeSource("b/Use.java", "package b;\n"
+                + "public class Use {\n"
+                + "    private java.util.Map.Entry<String, String> entry;\n"
+                + "    private java.util.concurrent.ConcurrentHashMap<String, String> cache;\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Use");
+        assertTrue(dependencies.contains("java.util.Map"));
+        assertTrue(dependencies.contains("java.util.concurrent.ConcurrentHashMap"));
+    }
+
+    @Test
+    public void stripsArraysAndGenerics() throws IOException {
+        writeSource("b/Use.java", "package b;\n"
+                + "import java.util.List;\n"
+                + "import java.util.*;\n"
+                + "public class Use {\n"
+                + "    private List<Map<String, Integer>> nested;\n"
+                + "    private StringBuilder[] builders;\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Use");
+        assertTrue(dependencies.contains("java.util.List"));
+        assertTrue(dependencies.contains("java.lang.StringBuilder"));
+        for (String dependency : dependencies) {
+            assertFalse(dependency, dependency.contains("<") || dependency.contains("["));
+        }
+    }
+
+    @Test
+    public void dropsUnresolvedNames() throws IOException {
+        writeSource("b/Use.java", "package b;\n"
+                + "public class Use {\n"
+                + "    private List<String> names;\n"
+                + "    private Missing missing;\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Use");
+        assertFalse(dependencies.contains("List"));
+        assertFalse(dependencies.contains("Missing"));
+        assertTrue(dependencies.isEmpty());
+    }
+
+    @Test
+    public void memberTypeWinsOverImport() throws IOException {
+        writeSource("b/Outer.java", "package b;\n"
+                + "import java.util.Map.Entry;\n"
+                + "import java.util.List;\n"
+                + "public class Outer {\n"
+                + "    private Entry entry;\n"
+                + "    private List list;\n"
+                + "    static class Entry {}\n"
+                + "    interface List {}\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Outer");
+        assertTrue(dependencies.contains("b.Outer"));
+        assertFalse(dependencies.contains("java.util.Map.Entry"));
+        assertFalse(dependencies.contains("java.util.List"));
+    }
+
+    @Test
+    public void resolvesMemberTypeInheritedFromProjectSupertype() throws IOException {
+        writeSource("a/Base.java", "package a;\n"
+                + "public class Base {\n"
+                + "    public static class Node {}\n"
+                + "}\n");
+        writeSource("a/Shape.java", "package a;\n"
+                + "public interface Shape {\n"
+                + "    enum Kind { ROUND, SQUARE }\n"
+                + "}\n");
+        writeSource("b/Middle.java", "package b;\n"
+                + "import a.*;\n"
+                + "public abstract class Middle extends Base {}\n");
+        writeSource("b/Use.java", "package b;\n"
+                + "import a.Shape;\n"
+                + "public class Use extends Middle implements Shape {\n"
+                + "    private Node node;\n"
+                + "    private Kind kind;\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Use");
+        assertTrue(dependencies.contains("a.Base"));
+        assertTrue(dependencies.contains("a.Shape"));
+        assertTrue(dependencies.contains("b.Middle"));
+        assertFalse(dependencies.contains("Node"));
+        assertFalse(dependencies.contains("Kind"));
+    }
+
+    @Test
+    public void staticImportOfNestedTypeIsTypeCandidate() throws IOException {
+        writeSource("a/Outer.java", "package a;\n"
+                + "public class Outer {\n"
+                + "    public static class Inner {}\n"
+                + "    public static int counter;\n"
+                + "}\n");
+        writeSource("b/Use.java", "package b;\n"
+                + "import static a.Outer.Inner;\n"
+                + "import static a.Outer.counter;\n"
+                + "import static java.util.Map.Entry;\n"
+                + "public class Use {\n"
+                + "    private Inner inner;\n"
+                + "    private Entry<String, String> entry;\n"
+                + "}\n");
+
+        Set<String> dependencies = dependenciesOf(analyze(), "b", "Use");
+        assertTrue(dependencies.contains("a.Outer.Inner"));
+        assertTrue(dependencies.contains("java.util.Map.Entry"));
+        assertFalse(dependencies.contains("a.Outer.counter"));
+    }
+
+    private void writeSource(String relativePath, String content) throws IOException {
+        Path file = sourceDir.getRoot().toPath().resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<ClassInfo> analyze() throws IOException {
+        return new JavaSourceAnalyzer(jdkIndex).analyzeDirectory(sourceDir.getRoot().toString());
+    }
+
+    private Set<String> dependenciesOf(List<ClassInfo> classList, String packageName, String className) {
+        for (ClassInfo cls : classList) {
+            if (cls.getPackageName().equals(packageName) && cls.getClassName().equals(className)) {
+                return cls.getDependencies();
+            }
+        }
+        fail("未找到类 " + packageName + "." + className);
+        return null;
+    }
+}
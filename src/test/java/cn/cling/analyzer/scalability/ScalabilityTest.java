@@ -0,0 +1,419 @@
+package cn.cling.analyzer.scalability;
+
+import cn.cling.analyzer.core.JavaSourceAnalyzer;
+import cn.cling.analyzer.core.ReportGenerator;
+import cn.cling.analyzer.model.ClassInfo;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 端到端可扩展性回归测试
+ * 对不同规模的合成项目依次运行 JavaSourceAnalyzer 与 ReportGenerator，记录耗时、峰值堆/RSS 和 GC 时间，
+ * 并与 src/test/resources/scalability/baseline.properties 中的基线比较：
+ * 1. 各规模的耗时、峰值堆超出基线预算时失败
+ * 2. 相邻规模之间的增长指数（log(耗时比) / log(规模比)）明显高于基线时失败，用于发现意外的 O(n²) 行为
+ *
+ * 依次运行两轮规模扫描：常规项目，以及依赖密度和方法复杂度为其 DENSE_FACTOR 倍的密集项目。
+ * 基线的键包含生成参数（如 time.ms.m10-c4-d5-p3.1000），修改生成参数后与对应参数的基线比较。
+ * 小规模重复测量并取各项指标的最小值，减少抖动对增长指数的影响。
+ *
+ * 运行：mvn test -Pscalability
+ * 可选参数：
+ *   -Dscalability.sizes=100,1000,10000,100000   常规项目测试的文件数
+ *   -Dscalability.denseSizes=100,1000,10000      密集项目测试的文件数，为空时跳过
+ *   -Dscalability.methodsPerClass=10             每个类的方法数
+ *   -Dscalability.methodComplexity=4             方法圈复杂度
+ *   -Dscalability.dependencyDensity=5            每个类依赖的其他类数量
+ *   -Dscalability.packageDepth=3                 包深度
+ *   -Dscalability.repeats=5                      小规模的最多测量次数
+ *   -Dscalability.timeTolerance=2.0              耗时允许为基线的倍数
+ *   -Dscalability.heapTolerance=2.0              峰值堆允许为基线的倍数
+ *   -Dscalability.exponentTolerance=0.25         增长指数允许高出基线的值
+ *   -Dscalability.updateBaseline=true            以本次结果更新对应规模的基线，不做断言
+ */
+public class ScalabilityTest {
+    private static final String BASELINE_RESOURCE = "/scalability/baseline.properties";
+    // 小规模下耗时和内存抖动较大，预算额外放宽的固定值
+    private static final long TIME_SLACK_MS = 250;
+    private static final long HEAP_SLACK_MB = 64;
+    // 密集项目的依赖密度和方法复杂度相对常规项目的倍数
+    private static final int DENSE_FACTOR = 4;
+    // 每个规模的测量次数为 REPEAT_FILE_BUDGET / 文件数，至少 1 次，最多 scalability.repeats 次
+    private static final int REPEAT_FILE_BUDGET = 20000;
+    // 预热：至少运行 WARMUP_MIN_ROUNDS 次，之后相邻两次耗时相差不超过 WARMUP_STABLE_RATIO 即视为稳定，
+    // 最多 WARMUP_MAX_ROUNDS 次
+    private static final int WARMUP_FILE_COUNT = 1000;
+    private static final double WARMUP_STABLE_RATIO = 0.2;
+    private static final int WARMUP_MIN_ROUNDS = 3;
+    private static final int WARMUP_MAX_ROUNDS = 10;
+
+    @Test
+    public void analysisScalesWithinBaseline() throws IOException {
+        double timeTolerance = Double.parseDouble(System.getProperty("scalability.timeTolerance", "2.0"));
+        double heapTolerance = Double.parseDouble(System.getProperty("scalability.heapTolerance", "2.0"));
+        double exponentTolerance = Double.parseDouble(System.getProperty("scalability.exponentTolerance", "0.25"));
+        boolean updateBaseline = Boolean.getBoolean("scalability.updateBaseline");
+        int maxRepeats = Integer.getInteger("scalability.repeats", 5);
+
+        Sweep regular = new Sweep(parseSizes(System.getProperty("scalability.sizes", "100,1000,10000,100000")),
+                Integer.getInteger("scalability.methodsPerClass", 10),
+                Integer.getInteger("scalability.methodComplexity", 4),
+                Integer.getInteger("scalability.dependencyDensity", 5),
+                Integer.getInteger("scalability.packageDepth", 3));
+        Sweep dense = new Sweep(parseSizes(System.getProperty("scalability.denseSizes", "100,1000,10000")),
+                regular.methodsPerClass, regular.methodComplexity * DENSE_FACTOR,
+                regular.dependencyDensity * DENSE_FACTOR, regular.packageDepth);
+        List<Sweep> sweeps = Arrays.asList(regular, dense);
+
+        Path workDir = Files.createTempDirectory("scalability-");
+        try {
+            warmUp(workDir, regular);
+
+            for (Sweep sweep : sweeps) {
+                for (int size : sweep.sizes) {
+                    Measurement measurement = measureBest(workDir, sweep, size, maxRepeats);
+                    sweep.measurements.add(measurement);
+                    System.out.println(sweep.key() + "  " + measurement);
+                }
+            }
+        } finally {
+            deleteRecursively(workDir);
+        }
+
+        Properties results = new Properties();
+        for (Sweep sweep : sweeps) {
+            addResults(results, sweep);
+        }
+        writeProperties(results, Paths.get("target", "scalability", "results.properties"));
+        if (updateBaseline) {
+            // 只覆盖本次测试的规模，保留其他规模的基线；GC 时间和 RSS 不参与比较，不写入基线
+            Path baselineFile = Paths.get(System.getProperty("scalability.baselineFile",
+                    "src/test/resources/scalability/baseline.properties"));
+            Properties baseline = new Properties();
+            if (Files.exists(baselineFile)) {
+                try (InputStream in = Files.newInputStream(baselineFile)) {
+                    baseline.load(in);
+                }
+            }
+            results.stringPropertyNames().stream()
+                    .filter(key -> key.startsWith("time.ms.") || key.startsWith("heap.mb.")
+                            || key.startsWith("exponent."))
+                    .forEach(key -> baseline.setProperty(key, results.getProperty(key)));
+            writeProperties(baseline, baselineFile);
+            return;
+        }
+
+        Properties baseline = loadBaseline();
+        List<String> failures = new ArrayList<>();
+        for (Sweep sweep : sweeps) {
+            checkSweep(sweep, baseline, timeTolerance, heapTolerance, exponentTolerance, failures);
+        }
+
+        if (!failures.isEmpty()) {
+            fail("可扩展性回归：\n  " + String.join("\n  ", failures));
+        }
+    }
+
+    /**
+     * 将一轮扫描的结果与基线比较，超出预算的项加入 failures
+     */
+    private void checkSweep(Sweep sweep, Properties baseline, double timeTolerance, double heapTolerance,
+                            double exponentTolerance, List<String> failures) {
+        int exponentsChecked = 0;
+        for (int i = 0; i < sweep.measurements.size(); i++) {
+            Measurement current = sweep.measurements.get(i);
+
+            String baselineTime = baseline.getProperty(sweep.metricKey("time.ms", current));
+            if (baselineTime != null) {
+                long budget = (long) (Long.parseLong(baselineTime) * timeTolerance) + TIME_SLACK_MS;
+                if (current.wallTimeMs > budget) {
+                    failures.add(String.format("%s %d个文件耗时 %dms 超出预算 %dms",
+                            sweep.key(), current.fileCount, current.wallTimeMs, budget));
+                }
+            }
+
+            String baselineHeap = baseline.getProperty(sweep.metricKey("heap.mb", current));
+            if (baselineHeap != null) {
+                long budget = (long) (Long.parseLong(baselineHeap) * heapTolerance) + HEAP_SLACK_MB;
+                if (current.peakHeapMb > budget) {
+                    failures.add(String.format("%s %d个文件峰值堆 %dMB 超出预算 %dMB",
+                            sweep.key(), current.fileCount, current.peakHeapMb, budget));
+                }
+            }
+
+            if (i == 0) {
+                continue;
+            }
+            Measurement previous = sweep.measurements.get(i - 1);
+            String baselineExponent = baseline.getProperty(sweep.exponentKey(previous, current));
+            if (baselineExponent != null) {
+                exponentsChecked++;
+                double exponent = exponent(previous, current);
+                double limit = Double.parseDouble(baselineExponent) + exponentTolerance;
+                if (exponent > limit) {
+                    failures.add(String.format(Locale.ROOT, "%s %d -> %d 个文件的增长指数 %.2f 超出上限 %.2f",
+                            sweep.key(), previous.fileCount, current.fileCount, exponent, limit));
+                }
+            }
+        }
+
+        // 有两个以上规模却没有比较任何增长指数时，说明基线缺失，不能静默通过
+        if (sweep.measurements.size() > 1 && exponentsChecked == 0) {
+            failures.add(sweep.key() + " 的规模 " + sweep.sizes + " 在基线中没有对应的增长指数，"
+                    + "请以 -Dscalability.updateBaseline=true 运行生成基线");
+        }
+    }
+
+    /**
+     * 预热 JIT 直到耗时稳定，结果不计入
+     */
+    private void warmUp(Path workDir, Sweep sweep) throws IOException {
+        long previous = measure(workDir, sweep, WARMUP_FILE_COUNT).wallTimeMs;
+        for (int round = 2; round <= WARMUP_MAX_ROUNDS; round++) {
+            long current = measure(workDir, sweep, WARMUP_FILE_COUNT).wallTimeMs;
+            System.out.println("预热第" + round + "轮: " + current + "ms");
+            if (round >= WARMUP_MIN_ROUNDS && Math.abs(current - previous) <= previous * WARMUP_STABLE_RATIO) {
+                return;
+            }
+            previous = current;
+        }
+        System.out.println("预热" + WARMUP_MAX_ROUNDS + "轮后耗时仍未稳定");
+    }
+
+    /**
+     * 多次测量同一规模，各项指标取最小值，排除 JIT、GC 时机和上一规模残留内存造成的偏高
+     */
+    private Measurement measureBest(Path workDir, Sweep sweep, int fileCount, int maxRepeats) throws IOException {
+        int repeats = Math.max(1, Math.min(maxRepeats, REPEAT_FILE_BUDGET / fileCount));
+        Measurement best = measure(workDir, sweep, fileCount);
+        for (int i = 1; i < repeats; i++) {
+            Measurement next = measure(workDir, sweep, fileCount);
+            best.wallTimeMs = Math.min(best.wallTimeMs, next.wallTimeMs);
+            best.peakHeapMb = Math.min(best.peakHeapMb, next.peakHeapMb);
+            best.peakRssMb = Math.min(best.peakRssMb, next.peakRssMb);
+            best.gcTimeMs = Math.min(best.gcTimeMs, next.gcTimeMs);
+        }
+        return best;
+    }
+
+    /**
+     * 按扫描参数生成指定规模的项目，运行分析和报告生成并记录资源消耗
+     */
+    private Measurement measure(Path workDir, Sweep sweep, int fileCount) throws IOException {
+        Path sourceDir = workDir.resolve("src-" + fileCount);
+        Path reportFile = workDir.resolve("report-" + fileCount + ".txt");
+
+        SyntheticProjectGenerator generator = new SyntheticProjectGenerator();
+        generator.setFileCount(fileCount);
+        generator.setMethodsPerClass(sweep.methodsPerClass);
+        generator.setMethodComplexity(sweep.methodComplexity);
+        generator.setDependencyDensity(sweep.dependencyDensity);
+        generator.setPackageDepth(sweep.packageDepth);
+        generator.generate(sourceDir);
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+        resetPeakRss();
+        long gcTimeBefore = totalGcTimeMs();
+        long start = System.nanoTime();
+
+        JavaSourceAnalyzer analyzer = new JavaSourceAnalyzer();
+        List<ClassInfo> classList = analyzer.analyzeDirectory(sourceDir.toString());
+        new ReportGenerator().generateReport(classList, reportFile.toString());
+
+        Measurement measurement = new Measurement();
+        measurement.fileCount = fileCount;
+        measurement.wallTimeMs = (System.nanoTime() - start) / 1_000_000;
+        measurement.gcTimeMs = totalGcTimeMs() - gcTimeBefore;
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+        measurement.peakHeapMb = peakHeap / (1024 * 1024);
+        measurement.peakRssMb = readPeakRssMb();
+
+        assertEquals("分析结果的类数与生成的文件数不一致", fileCount, classList.size());
+        deleteRecursively(sourceDir);
+        Files.deleteIfExists(reportFile);
+        return measurement;
+    }
+
+    private long totalGcTimeMs() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * Linux 下向 /proc/self/clear_refs 写入 5 可重置 VmHWM，其他平台忽略
+     */
+    private void resetPeakRss() {
+        try {
+            Files.write(Paths.get("/proc/self/clear_refs"), "5".getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // 无法重置时记录的是进程启动以来的峰值
+        }
+    }
+
+    /**
+     * @return 进程峰值 RSS（MB），无法获取时返回 -1
+     */
+    private long readPeakRssMb() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.US_ASCII)) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 非 Linux 平台
+        }
+        return -1;
+    }
+
+    private double exponent(Measurement previous, Measurement current) {
+        return Math.log((double) current.wallTimeMs / Math.max(1, previous.wallTimeMs))
+                / Math.log((double) current.fileCount / previous.fileCount);
+    }
+
+    private void addResults(Properties properties, Sweep sweep) {
+        for (int i = 0; i < sweep.measurements.size(); i++) {
+            Measurement current = sweep.measurements.get(i);
+            properties.setProperty(sweep.metricKey("time.ms", current), String.valueOf(current.wallTimeMs));
+            properties.setProperty(sweep.metricKey("heap.mb", current), String.valueOf(current.peakHeapMb));
+            properties.setProperty(sweep.metricKey("gc.ms", current), String.valueOf(current.gcTimeMs));
+            properties.setProperty(sweep.metricKey("rss.mb", current), String.valueOf(current.peakRssMb));
+            if (i > 0) {
+                Measurement previous = sweep.measurements.get(i - 1);
+                properties.setProperty(sweep.exponentKey(previous, current),
+                        String.format(Locale.ROOT, "%.2f", exponent(previous, current)));
+            }
+        }
+    }
+
+    private Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = ScalabilityTest.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            if (in == null) {
+                fail("缺少基线文件 " + BASELINE_RESOURCE + "，请先以 -Dscalability.updateBaseline=true 运行");
+            }
+            baseline.load(in);
+        }
+        return baseline;
+    }
+
+    private void writeProperties(Properties properties, Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        // 按键排序写出，便于对比基线的变更
+        List<String> lines = new ArrayList<>();
+        lines.add("# JavaSourceAnalyzer + ReportGenerator 可扩展性基线");
+        lines.add("# 更新：mvn test -Pscalability -Dscalability.updateBaseline=true");
+        new TreeMap<>(properties).forEach((key, value) -> lines.add(key + "=" + value));
+        Files.write(path, lines, StandardCharsets.UTF_8);
+        System.out.println("结果已写入: " + path.toAbsolutePath());
+    }
+
+    private List<Integer> parseSizes(String sizes) {
+        List<Integer> result = new ArrayList<>();
+        for (String size : sizes.split(",")) {
+            if (!size.trim().isEmpty()) {
+                result.add(Integer.parseInt(size.trim()));
+            }
+        }
+        result.sort(Comparator.naturalOrder());
+        return result;
+    }
+
+    private void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * 一轮规模扫描：固定的生成参数与依次测试的文件数
+     */
+    private static class Sweep {
+        private final List<Integer> sizes;
+        private final int methodsPerClass;
+        private final int methodComplexity;
+        private final int dependencyDensity;
+        private final int packageDepth;
+        private final List<Measurement> measurements = new ArrayList<>();
+
+        Sweep(List<Integer> sizes, int methodsPerClass, int methodComplexity, int dependencyDensity,
+              int packageDepth) {
+            this.sizes = sizes;
+            this.methodsPerClass = methodsPerClass;
+            this.methodComplexity = methodComplexity;
+            this.dependencyDensity = dependencyDensity;
+            this.packageDepth = packageDepth;
+        }
+
+        /**
+         * 生成参数的简写，用于区分不同参数的基线
+         */
+        String key() {
+            return "m" + methodsPerClass + "-c" + methodComplexity + "-d" + dependencyDensity + "-p" + packageDepth;
+        }
+
+        String metricKey(String metric, Measurement measurement) {
+            return metric + "." + key() + "." + measurement.fileCount;
+        }
+
+        String exponentKey(Measurement previous, Measurement current) {
+            return "exponent." + key() + "." + previous.fileCount + "-" + current.fileCount;
+        }
+    }
+
+    /**
+     * 单个规模的测量结果
+     */
+    private static class Measurement {
+        private int fileCount;
+        private long wallTimeMs;
+        private long peakHeapMb;
+        private long peakRssMb;
+        private long gcTimeMs;
+
+        @Override
+        public String toString() {
+            return String.format("文件数 %-7d 耗时 %7dms  峰值堆 %5dMB  峰值RSS %5dMB  GC %6dms",
+                    fileCount, wallTimeMs, peakHeapMb, peakRssMb, gcTimeMs);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package cn.cling.analyzer.scalability;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * 合成 Java 项目生成器
+ * 可控制文件数、类大小（方法数）、方法圈复杂度、依赖密度（每个类依赖的其他类数量）和包深度。
+ * 相同参数与随机种子生成的项目完全一致，便于与基线对比。
+ */
+public class SyntheticProjectGenerator {
+    private static final String ROOT_PACKAGE = "synthetic";
+    // 每个包中的类数
+    private static final int CLASSES_PER_PACKAGE = 50;
+
+    private int fileCount = 100;
+    private int methodsPerClass = 10;
+    private int methodComplexity = 4;
+    private int dependencyDensity = 5;
+    private int packageDepth = 3;
+    private long seed = 42L;
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(int fileCount) {
+        if (fileCount < 1) {
+            throw new IllegalArgumentException("文件数必须大于 0: " + fileCount);
+        }
+        this.fileCount = fileCount;
+    }
+
+    public int getMethodsPerClass() {
+        return methodsPerClass;
+    }
+
+    public void setMethodsPerClass(int methodsPerClass) {
+        if (methodsPerClass < 1) {
+            throw new IllegalArgumentException("每个类的方法数必须大于 0: " + methodsPerClass);
+        }
+        this.methodsPerClass = methodsPerClass;
+    }
+
+    public int getMethodComplexity() {
+        return methodComplexity;
+    }
+
+    public void setMethodComplexity(int methodComplexity) {
+        if (methodComplexity < 1) {
+            throw new IllegalArgumentException("方法圈复杂度必须大于 0: " + methodComplexity);
+        }
+        this.methodComplexity = methodComplexity;
+    }
+
+    public int getDependencyDensity() {
+        return dependencyDensity;
+    }
+
+    public void setDependencyDensity(int dependencyDensity) {
+        if (dependencyDensity < 0) {
+            throw new IllegalArgumentException("依赖密度不能为负数: " + dependencyDensity);
+        }
+        this.dependencyDensity = dependencyDensity;
+    }
+
+    public int getPackageDepth() {
+        return packageDepth;
+    }
+
+    public void setPackageDepth(int packageDepth) {
+        if (packageDepth < 1) {
+            throw new IllegalArgumentException("包深度必须大于 0: " + packageDepth);
+        }
+        this.packageDepth = packageDepth;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * 在目标目录下生成项目源码
+     * @param directory 源码根目录
+     */
+    public void generate(Path directory) throws IOException {
+        Random random = new Random(seed);
+        for (int i = 0; i < fileCount; i++) {
+            String packageName = packageOf(i);
+            Path packageDir = directory.resolve(packageName.replace('.', '/'));
+            Files.createDirectories(packageDir);
+
+            try (Writer out = Files.newBufferedWriter(packageDir.resolve(classNameOf(i) + ".java"),
+                    StandardCharsets.UTF_8)) {
+                writeClass(out, i, packageName, random);
+            }
+        }
+    }
+
+    private void writeClass(Writer out, int index, String packageName, Random random) throws IOException {
+        // 依赖的类序号，允许重复
+        int[] dependencies = new int[fileCount > 1 ? dependencyDensity : 0];
+        for (int i = 0; i < dependencies.length; i++) {
+            int target = random.nextInt(fileCount - 1);
+            dependencies[i] = target >= index ? target + 1 : target;
+        }
+
+        out.write("package " + packageName + ";\n\n");
+        out.write("import java.util.*;\n");
+        for (int dependency : dependencies) {
+            if (!packageOf(dependency).equals(packageName)) {
+                out.write("import " + packageOf(dependency) + "." + classNameOf(dependency) + ";\n");
+            }
+        }
+
+        String className = classNameOf(index);
+        out.write("\n/**\n * 合成类 " + className + "\n */\n");
+        out.write("public class " + className + " {\n");
+        out.write("    private final List<String> names = new ArrayList<>();\n");
+        for (int i = 0; i < dependencies.length; i++) {
+            out.write("    private " + classNameOf(dependencies[i]) + " dep" + i + ";\n");
+        }
+
+        for (int m = 0; m < methodsPerClass; m++) {
+            writeMethod(out, m, dependencies.length);
+        }
+        out.write("}\n");
+    }
+
+    /**
+     * 生成一个圈复杂度为 methodComplexity 的方法
+     */
+    private void writeMethod(Writer out, int index, int dependencyCount) throws IOException {
+        out.write("\n    /**\n     * 合成方法 method" + index + "\n     */\n");
+        out.write("    public int method" + index + "(int value, String name) {\n");
+        out.write("        int result = value;\n");
+        // 基础复杂度为1，每个分支结构加1；调用依赖不引入分支，复杂度与依赖密度互不影响
+        int branches = methodComplexity - 1;
+        for (int b = 1; b <= branches; b++) {
+            switch (b % 3) {
+                case 0:
+                    out.write("        if (result > " + b + ") {\n");
+                    out.write("            result -= " + b + ";\n");
+                    out.write("        }\n");
+                    break;
+                case 1:
+                    out.write("        for (int i = 0; i < " + b + "; i++) {\n");
+                    out.write("            result += i;\n");
+                    out.write("        }\n");
+                    break;
+                default:
+                    out.write("        while (result > " + (b * 100) + ") {\n");
+                    out.write("            result /= 2;\n");
+                    out.write("        }\n");
+            }
+        }
+        out.write("        names.add(name);\n");
+        if (dependencyCount > 0) {
+            out.write("        return dep" + (index % dependencyCount) + ".method0(result, name);\n");
+        } else {
+            out.write("        return result;\n");
+        }
+        out.write("    }\n");
+    }
+
+    /**
+     * 包名由包序号的十进制各位组成，位数即包深度，例如深度3时第 17 个包为 synthetic.p0.p1.p7
+     */
+    String packageOf(int classIndex) {
+        int packageIndex = classIndex / CLASSES_PER_PACKAGE;
+        StringBuilder packageName = new StringBuilder(ROOT_PACKAGE);
+        int divisor = 1;
+        for (int level = 1; level < packageDepth; level++) {
+            divisor *= 10;
+        }
+        // 最高一级不取模，包数超过 10^深度 时仍然唯一
+        packageName.append(".p").append(packageIndex / divisor);
+        for (int level = 1; level < packageDepth; level++) {
+            divisor /= 10;
+            packageName.append(".p").append((packageIndex / divisor) % 10);
+        }
+        return packageName.toString();
+    }
+
+    String classNameOf(int classIndex) {
+        return "Synthetic" + classIndex;
+    }
+}